@@ -11,17 +11,25 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.parameters.RequestBody;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.parser.core.models.ParseOptions;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.math.BigDecimal;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 import org.apache.commons.text.StringEscapeUtils;
@@ -40,14 +48,22 @@ public class SwaggerToMcpGenerator {
 //DEPS com.fasterxml.jackson.core:jackson-databind:2.16.0
 //DEPS org.apache.commons:commons-text:1.10.0
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import org.jboss.logging.Logger;
 import org.apache.commons.text.StringEscapeUtils;
 import io.quarkiverse.mcp.server.Tool;
@@ -68,6 +84,7 @@ import okhttp3.Credentials;
             private static final Logger LOGGER = Logger.getLogger(%s.class);
             private final OkHttpClient client;
             private final ObjectMapper objectMapper;
+            private final ObjectReader requestBodyReader;
             
             // Available server URLs from the OpenAPI specification
             private static final List<String> SERVER_URLS = List.of(
@@ -105,6 +122,10 @@ import okhttp3.Credentials;
                 this.objectMapper = new ObjectMapper()
                     .enable(SerializationFeature.INDENT_OUTPUT);
                 
+                // Strict reader for validating request bodies, rejecting content after the JSON value
+                this.requestBodyReader = objectMapper.reader()
+                    .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+                
                 // Initialize HTTP client with reasonable timeouts
                 OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
                     .connectTimeout(30, TimeUnit.SECONDS)
@@ -167,6 +188,31 @@ import okhttp3.Credentials;
                 }
             }
             
+            /**
+             * Split a comma-separated list argument into its trimmed items
+             */
+            private static String[] splitListArgument(String value) {
+                if (value.isBlank()) {
+                    return new String[0];
+                }
+                String[] items = value.split(",", -1);
+                for (int i = 0; i < items.length; i++) {
+                    items[i] = items[i].trim();
+                }
+                return items;
+            }
+            
+            /**
+             * Parse a number from a list argument item, returning null if it is not a number
+             */
+            private static BigDecimal parseListNumber(String value) {
+                try {
+                    return new BigDecimal(value);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            
         """;
 
     private static final String TEMPLATE_FOOTER = """
@@ -179,7 +225,7 @@ import okhttp3.Credentials;
              */
             @Tool(description = "%s")
             public String %s(%s) {
-                try {
+                %stry {
                     HttpUrl.Builder urlBuilder = HttpUrl.parse(BASE_URL + "%s").newBuilder();
                     %s
                     
@@ -285,7 +331,7 @@ import okhttp3.Credentials;
             }
             
             // Generate the MCP server class
-            generateMcpServerClass(swaggerFile, className, baseUrl, serverUrls, methods);
+            generateMcpServerClass(swaggerFile, className, baseUrl, serverUrls, methods, getComponentSchemaNames(openAPI));
             
             System.out.println("MCP server generated successfully: " + className + ".java");
             
@@ -299,6 +345,8 @@ import okhttp3.Credentials;
     private static OpenAPI parseSwaggerFile(String swaggerFile) throws IOException {
         ParseOptions parseOptions = new ParseOptions();
         parseOptions.setResolve(true);
+        // Inline $ref schemas so that argument validation can be generated from them
+        parseOptions.setResolveFully(true);
         
         return new OpenAPIParser().readLocation(swaggerFile, null, parseOptions).getOpenAPI();
     }
@@ -472,12 +520,16 @@ import okhttp3.Credentials;
                     paramDesc += " Default: " + parameter.getSchema().getDefault();
                 }
                 
-                String paramType = parameter.getSchema() != null ? 
-                    mapSwaggerTypeToJava(parameter.getSchema().getType()) : "String";
-                
                 String paramIn = parameter.getIn();
                 
-                parameters.add(new ParameterSpec(paramName, paramDesc, paramType, paramIn));
+                // Path parameters are always required, others only when the spec says so
+                boolean required = "path".equals(paramIn) || Boolean.TRUE.equals(parameter.getRequired());
+                
+                // Optional parameters use boxed types so that unset arguments can be told apart
+                String paramType = parameter.getSchema() != null ? 
+                    mapSwaggerTypeToJava(schemaType(parameter.getSchema()), required) : "String";
+                
+                parameters.add(new ParameterSpec(paramName, paramDesc, paramType, paramIn, required, parameter.getSchema()));
             }
         }
         
@@ -492,33 +544,80 @@ import okhttp3.Credentials;
                 bodyDesc = "Request body for " + operationId;
             }
             
+            boolean required = Boolean.TRUE.equals(requestBody.getRequired());
+            
             // Add a parameter for the request body
-            parameters.add(new ParameterSpec("requestBody", bodyDesc, "String", "body"));
+            parameters.add(new ParameterSpec("requestBody", bodyDesc, "String", "body", required, null));
             
-            // Determine content type
+            // Determine content type and the schema the body must conform to
             String contentType = "application/json";
+            Schema<?> bodySchema = null;
             if (requestBody.getContent() != null && !requestBody.getContent().isEmpty()) {
                 // Use the first content type found
-                contentType = requestBody.getContent().keySet().iterator().next();
+                Map.Entry<String, MediaType> content = requestBody.getContent().entrySet().iterator().next();
+                contentType = content.getKey();
+                bodySchema = content.getValue() != null ? content.getValue().getSchema() : null;
             }
             
-            requestBodySpec = new RequestBodySpec(contentType);
+            requestBodySpec = new RequestBodySpec(contentType, required, bodySchema);
         }
         
         return new MethodSpec(operationId, description, httpMethod, path, parameters, requestBodySpec);
     }
     
-    private static String mapSwaggerTypeToJava(String swaggerType) {
+    private static String mapSwaggerTypeToJava(String swaggerType, boolean required) {
+        if (swaggerType == null) {
+            return "String";
+        }
         return switch (swaggerType) {
-            case "integer" -> "int";
-            case "number" -> "double";
-            case "boolean" -> "boolean";
+            case "integer" -> required ? "int" : "Integer";
+            case "number" -> required ? "double" : "Double";
+            case "boolean" -> required ? "boolean" : "Boolean";
             default -> "String";
         };
     }
     
+    /**
+     * Returns the type of a schema, falling back to OpenAPI 3.1 type arrays and structural hints.
+     */
+    private static String schemaType(Schema<?> schema) {
+        // The parser reports resolved 3.1 oneOf/anyOf schemas as objects, whatever their alternatives are
+        if (schema.getOneOf() != null || schema.getAnyOf() != null) {
+            return null;
+        }
+        if (schema.getType() != null) {
+            return schema.getType();
+        }
+        if (schema.getTypes() != null) {
+            for (String type : schema.getTypes()) {
+                if (!"null".equals(type)) {
+                    return type;
+                }
+            }
+        }
+        if (schema.getProperties() != null) {
+            return "object";
+        }
+        if (schema.getItems() != null) {
+            return "array";
+        }
+        return null;
+    }
+    
+    /**
+     * Maps the fully resolved component schemas to their names. Resolved $ref schemas share these instances.
+     */
+    private static Map<Schema<?>, String> getComponentSchemaNames(OpenAPI openAPI) {
+        Map<Schema<?>, String> names = new IdentityHashMap<>();
+        if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
+            openAPI.getComponents().getSchemas().forEach((name, schema) -> names.put(schema, name));
+        }
+        return names;
+    }
+    
     private static void generateMcpServerClass(String swaggerFile, String className, String baseUrl, 
-                                              List<String> serverUrls, List<MethodSpec> methods) throws IOException {
+                                              List<String> serverUrls, List<MethodSpec> methods, 
+                                              Map<Schema<?>, String> componentSchemas) throws IOException {
         File outputFile = new File(className + ".java");
         
         try (PrintWriter writer = new PrintWriter(new FileWriter(outputFile))) {
@@ -539,11 +638,17 @@ import okhttp3.Credentials;
                 serverUrlsBuilder.toString(),
                 className);
             
+            // Validation helpers emitted for component schemas, shared by all methods
+            Map<Schema<?>, String> schemaValidators = new IdentityHashMap<>();
+            
             // Write methods
+            int methodIndex = 0;
             for (MethodSpec method : methods) {
                 StringBuilder paramsBuilder = new StringBuilder();
                 StringBuilder urlParamsBuilder = new StringBuilder();
                 StringBuilder requestBuilder = new StringBuilder();
+                ValidationCodeBuilder validation = new ValidationCodeBuilder(method.name, ++methodIndex, 
+                    componentSchemas, schemaValidators);
                 
                 // Build the HTTP method call based on the method type
                 switch (method.httpMethod.toLowerCase()) {
@@ -564,7 +669,7 @@ import okhttp3.Credentials;
                                     requestBuilder.append(String.format(
                                         "requestBuilder.%s(\n" +
                                         "        okhttp3.RequestBody.create(\n" +
-                                        "            requestBody,\n" +
+                                        "            requestBody != null ? requestBody : \"\",\n" +
                                         "            okhttp3.MediaType.parse(\"%s\")));",
                                         method.httpMethod.toLowerCase(),
                                         method.requestBody.contentType
@@ -591,8 +696,9 @@ import okhttp3.Credentials;
                     if (i > 0) {
                         paramsBuilder.append(", ");
                     }
-                    paramsBuilder.append(String.format("@ToolArg(description = \"%s\") %s %s", 
+                    paramsBuilder.append(String.format("@ToolArg(description = \"%s\"%s) %s %s", 
                         StringEscapeUtils.escapeJava(param.description), 
+                        param.required ? "" : ", required = false",
                         param.type, 
                         param.name));
                     
@@ -600,17 +706,40 @@ import okhttp3.Credentials;
                     if ("path".equals(param.in)) {
                         // Path parameters are already in the URL template
                     } else if ("query".equals(param.in)) {
-                        urlParamsBuilder.append(String.format("urlBuilder.addQueryParameter(\"%s\", String.valueOf(%s));\n    ", 
-                            param.name, param.name));
+                        // List items are sent trimmed
+                        String value = isDelimitedArray(param) 
+                            ? "String.join(\",\", splitListArgument(" + param.name + "))" 
+                            : "String.valueOf(" + param.name + ")";
+                        if (param.required) {
+                            // Validation has already rejected missing required arguments
+                            urlParamsBuilder.append(String.format("urlBuilder.addQueryParameter(\"%s\", %s);\n            ", 
+                                param.name, value));
+                        } else {
+                            // Unset optional arguments are left out of the query string
+                            urlParamsBuilder.append(String.format("if (%s) {\n                urlBuilder.addQueryParameter(\"%s\", %s);\n            }\n            ", 
+                                isSet(param), param.name, value));
+                        }
                     }
                     // Body parameters are handled in the request builder
+                    
+                    if (!"body".equals(param.in)) {
+                        validation.addParameterChecks(param);
+                    }
+                }
+                
+                if (method.requestBody != null) {
+                    validation.addRequestBodyChecks(method.requestBody);
                 }
                 
+                // Write the precompiled enum sets, patterns and schema helpers used by the validation code
+                writer.print(validation.declarations());
+                
                 writer.printf(METHOD_TEMPLATE,
                     StringEscapeUtils.escapeJava(method.description),
                     StringEscapeUtils.escapeJava(method.description),
                     method.name,
                     paramsBuilder.toString(),
+                    validation.checks(),
                     method.path,
                     urlParamsBuilder.toString(),
                     requestBuilder.toString());
@@ -621,6 +750,26 @@ import okhttp3.Credentials;
         }
     }
     
+    private static boolean isPrimitive(String javaType) {
+        return "int".equals(javaType) || "double".equals(javaType) || "boolean".equals(javaType);
+    }
+    
+    /**
+     * Array parameters are passed by the LLM as a single comma-separated string.
+     */
+    private static boolean isDelimitedArray(ParameterSpec param) {
+        return "String".equals(param.type) && param.schema != null && "array".equals(schemaType(param.schema));
+    }
+    
+    /**
+     * Returns the condition under which an optional argument counts as set, blank strings being treated as unset.
+     */
+    private static String isSet(ParameterSpec param) {
+        return "String".equals(param.type) 
+            ? param.name + " != null && !" + param.name + ".isBlank()" 
+            : param.name + " != null";
+    }
+    
     static class MethodSpec {
         final String name;
         final String description;
@@ -647,9 +796,13 @@ import okhttp3.Credentials;
     
     static class RequestBodySpec {
         final String contentType;
+        final boolean required;
+        final Schema<?> schema;
         
-        RequestBodySpec(String contentType) {
+        RequestBodySpec(String contentType, boolean required, Schema<?> schema) {
             this.contentType = contentType;
+            this.required = required;
+            this.schema = schema;
         }
     }
     
@@ -658,12 +811,566 @@ import okhttp3.Credentials;
         final String description;
         final String type;
         final String in; // path, query, header, cookie
+        final boolean required;
+        final Schema<?> schema;
         
-        ParameterSpec(String name, String description, String type, String in) {
+        ParameterSpec(String name, String description, String type, String in, 
+                     boolean required, Schema<?> schema) {
             this.name = name;
             this.description = description;
             this.type = type;
             this.in = in;
+            this.required = required;
+            this.schema = schema;
+        }
+    }
+    
+    /**
+     * Compiles the parameter and request body schemas of one operation into Java validation code.
+     * Enum sets and patterns are emitted as static constants, so no schema is interpreted at call time.
+     * Component schemas are compiled once into static helper methods, so each reference costs a single call.
+     */
+    static class ValidationCodeBuilder {
+        // Bounds the generated code for deeply nested request bodies
+        private static final int MAX_DEPTH = 8;
+        
+        private final String methodName;
+        private final String constantPrefix;
+        private final Map<Schema<?>, String> componentSchemas;
+        private final Map<Schema<?>, String> schemaValidators;
+        private final StringBuilder constants = new StringBuilder();
+        private final StringBuilder validators = new StringBuilder();
+        private final List<String> lines = new ArrayList<>();
+        private final Set<Schema<?>> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+        private int constantCount = 0;
+        private int variableCount = 0;
+        
+        ValidationCodeBuilder(String methodName, int methodIndex, 
+                              Map<Schema<?>, String> componentSchemas, Map<Schema<?>, String> schemaValidators) {
+            this.methodName = methodName;
+            this.componentSchemas = componentSchemas;
+            this.schemaValidators = schemaValidators;
+            // The method index keeps constants unique when different method names map to the same prefix
+            this.constantPrefix = methodName.replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+                .replaceAll("[^a-zA-Z0-9]+", "_")
+                .replaceAll("^_+|_+$", "")
+                .toUpperCase() + "_" + methodIndex;
+        }
+        
+        void addParameterChecks(ParameterSpec param) {
+            boolean primitive = isPrimitive(param.type);
+            String path = literal(param.name);
+            
+            List<String> checks = new ArrayList<>();
+            if (param.schema != null) {
+                String type = schemaType(param.schema);
+                switch (param.type) {
+                    case "String" -> {
+                        if (isDelimitedArray(param)) {
+                            addDelimitedArrayChecks(checks, param.name, path, param.schema);
+                        } else if (type == null || "string".equals(type)) {
+                            addStringChecks(checks, param.name, path, param.schema);
+                        }
+                    }
+                    case "int", "Integer", "double", "Double" -> addNumberChecks(checks, param.name, param.name, 
+                        "BigDecimal.valueOf(" + param.name + ")", path, param.schema, false);
+                    default -> {
+                        // Booleans have nothing to check beyond their type
+                    }
+                }
+            }
+            
+            if (primitive) {
+                lines.addAll(checks);
+            } else if (param.required) {
+                lines.add("if (" + param.name + " == null) {");
+                lines.add("    validationErrors.add(" + concat(path, " is required") + ");");
+                if (!checks.isEmpty()) {
+                    lines.add("} else {");
+                    lines.addAll(indent(checks));
+                }
+                lines.add("}");
+            } else if (!checks.isEmpty()) {
+                lines.add("if (" + isSet(param) + ") {");
+                lines.addAll(indent(checks));
+                lines.add("}");
+            }
+        }
+        
+        void addRequestBodyChecks(RequestBodySpec body) {
+            if (body.required) {
+                lines.add("if (requestBody == null || requestBody.isBlank()) {");
+                lines.add("    validationErrors.add(\"requestBody is required\");");
+                lines.add("}");
+            }
+            
+            // Only JSON bodies can be checked against their schema
+            if (body.contentType == null || !body.contentType.contains("json")) {
+                return;
+            }
+            
+            List<String> checks = new ArrayList<>();
+            addJsonChecks(checks, body.schema, "requestBodyJson", literal("requestBody"), 0);
+            
+            lines.add("if (requestBody != null && !requestBody.isBlank()) {");
+            lines.add("    JsonNode requestBodyJson = null;");
+            lines.add("    try {");
+            lines.add("        requestBodyJson = requestBodyReader.readTree(requestBody);");
+            lines.add("    } catch (JsonProcessingException e) {");
+            lines.add("        validationErrors.add(\"requestBody is not valid JSON: \" + e.getOriginalMessage());");
+            lines.add("    }");
+            if (!checks.isEmpty()) {
+                lines.add("    if (requestBodyJson != null) {");
+                lines.addAll(indent(indent(checks)));
+                lines.add("    }");
+            }
+            lines.add("}");
+        }
+        
+        /**
+         * Returns the static constants and schema helpers referenced by the validation code.
+         */
+        String declarations() {
+            return (constants.length() == 0 ? "" : constants + "    \n") + validators;
+        }
+        
+        /**
+         * Returns the validation block, laid out to be inserted in front of the method's try block.
+         */
+        String checks() {
+            if (lines.isEmpty()) {
+                return "";
+            }
+            
+            List<String> block = new ArrayList<>();
+            block.add("List<String> validationErrors = new ArrayList<>();");
+            block.addAll(lines);
+            block.add("if (!validationErrors.isEmpty()) {");
+            block.add("    LOGGER.warn(\"Rejected invalid arguments for " + methodName + ": \" + validationErrors);");
+            block.add("    return \"Invalid arguments: \" + String.join(\"; \", validationErrors);");
+            block.add("}");
+            block.add("");
+            
+            StringBuilder result = new StringBuilder();
+            for (String line : block) {
+                result.append(line).append("\n        ");
+            }
+            return result.toString();
+        }
+        
+        private void addJsonChecks(List<String> out, Schema<?> schema, String node, String path, int depth) {
+            // The resolver leaves recursive references as $ref stubs, point them back at their component
+            if (schema != null && schema.get$ref() != null) {
+                String componentName = schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1);
+                for (Map.Entry<Schema<?>, String> component : componentSchemas.entrySet()) {
+                    if (component.getValue().equals(componentName)) {
+                        schema = component.getKey();
+                        break;
+                    }
+                }
+            }
+            if (schema != null && componentSchemas.containsKey(schema)) {
+                String validator = schemaValidator(schema);
+                if (validator != null) {
+                    out.add(validator + "(" + node + ", " + path + ", validationErrors);");
+                }
+                return;
+            }
+            addInlineJsonChecks(out, schema, node, path, depth);
+        }
+        
+        /**
+         * Returns the helper method validating a component schema, emitting it on first use.
+         * Recursive references resolve to the helper being emitted. Returns null if the schema has nothing to check.
+         */
+        private String schemaValidator(Schema<?> schema) {
+            if (schemaValidators.containsKey(schema)) {
+                String existing = schemaValidators.get(schema);
+                return existing.isEmpty() ? null : existing;
+            }
+            
+            String schemaName = componentSchemas.get(schema).replaceAll("[^a-zA-Z0-9]+", "_");
+            String base = "validate" + Character.toUpperCase(schemaName.charAt(0)) + schemaName.substring(1);
+            String name = base;
+            for (int i = 2; schemaValidators.containsValue(name); i++) {
+                name = base + i;
+            }
+            schemaValidators.put(schema, name);
+            
+            List<String> body = new ArrayList<>();
+            addInlineJsonChecks(body, schema, "node", "path", 0);
+            if (body.isEmpty()) {
+                // Nothing referenced the helper yet, since any reference would have added a call to the body
+                schemaValidators.put(schema, "");
+                return null;
+            }
+            
+            validators.append("    /**\n")
+                .append("     * Validate a JSON value against the ").append(componentSchemas.get(schema)).append(" schema\n")
+                .append("     */\n")
+                .append("    private static void ").append(name)
+                .append("(JsonNode node, String path, List<String> validationErrors) {\n");
+            for (String line : indent(indent(body))) {
+                validators.append(line).append("\n");
+            }
+            validators.append("    }\n    \n");
+            return name;
+        }
+        
+        private void addInlineJsonChecks(List<String> out, Schema<?> schema, String node, String path, int depth) {
+            // Stop at recursive schemas and overly deep nesting
+            if (schema == null || depth > MAX_DEPTH || !visiting.add(schema)) {
+                return;
+            }
+            
+            try {
+                List<String> checks = new ArrayList<>();
+                
+                if (schema.getAllOf() != null) {
+                    for (Schema<?> part : schema.getAllOf()) {
+                        addJsonChecks(checks, part, node, path, depth + 1);
+                    }
+                }
+                
+                String type = schemaType(schema);
+                String typeTest = type == null ? null : switch (type) {
+                    case "object" -> "isObject";
+                    case "array" -> "isArray";
+                    case "string" -> "isTextual";
+                    case "integer" -> "canConvertToExactIntegral";
+                    case "number" -> "isNumber";
+                    case "boolean" -> "isBoolean";
+                    default -> null;
+                };
+                
+                if (typeTest != null) {
+                    List<String> typed = new ArrayList<>();
+                    switch (type) {
+                        case "object" -> addObjectChecks(typed, schema, node, path, depth);
+                        case "array" -> addArrayChecks(typed, schema, node, path, depth);
+                        case "string" -> addStringChecks(typed, node + ".asText()", path, schema);
+                        case "integer" -> addNumberChecks(typed, node + ".decimalValue()", node + ".bigIntegerValue()", 
+                            node + ".decimalValue()", path, schema, true);
+                        case "number" -> addNumberChecks(typed, node + ".doubleValue()", node + ".doubleValue()", 
+                            node + ".decimalValue()", path, schema, false);
+                        default -> {
+                            // Booleans have nothing to check beyond their type
+                        }
+                    }
+                    
+                    checks.add("if (!" + node + "." + typeTest + "()) {");
+                    checks.add("    validationErrors.add(" + concat(path, " must be " + ("string".equals(type) || "number".equals(type) 
+                        || "boolean".equals(type) ? "a " : "an ") + type) + ");");
+                    if (!typed.isEmpty()) {
+                        checks.add("} else {");
+                        checks.addAll(indent(typed));
+                    }
+                    checks.add("}");
+                } else if (type == null) {
+                    addEnumCheck(checks, node + ".asText()", path, schema.getEnum());
+                }
+                
+                if (checks.isEmpty()) {
+                    return;
+                }
+                boolean nullable = Boolean.TRUE.equals(schema.getNullable())
+                    || (schema.getTypes() != null && schema.getTypes().contains("null"));
+                if (nullable) {
+                    out.add("if (!" + node + ".isNull()) {");
+                    out.addAll(indent(checks));
+                    out.add("}");
+                } else {
+                    out.addAll(checks);
+                }
+            } finally {
+                visiting.remove(schema);
+            }
+        }
+        
+        private void addObjectChecks(List<String> out, Schema<?> schema, String node, String path, int depth) {
+            if (schema.getRequired() != null) {
+                for (String property : schema.getRequired()) {
+                    out.add("if (!" + node + ".has(" + literal(property) + ")) {");
+                    out.add("    validationErrors.add(" + concat(path, "." + property + " is required") + ");");
+                    out.add("}");
+                }
+            }
+            
+            if (schema.getProperties() != null) {
+                schema.getProperties().forEach((name, propertySchema) -> {
+                    String value = nextVariable("node");
+                    List<String> checks = new ArrayList<>();
+                    addJsonChecks(checks, propertySchema, value, concat(path, "." + name), depth + 1);
+                    if (!checks.isEmpty()) {
+                        out.add("JsonNode " + value + " = " + node + ".get(" + literal(name) + ");");
+                        out.add("if (" + value + " != null) {");
+                        out.addAll(indent(checks));
+                        out.add("}");
+                    }
+                });
+            }
+            
+            if (Boolean.FALSE.equals(schema.getAdditionalProperties())) {
+                // Without declared properties, no property at all is allowed
+                String known = setConstant(schema.getProperties() != null ? schema.getProperties().keySet() : Set.of());
+                String fields = nextVariable("fields");
+                String field = nextVariable("field");
+                out.add("for (Iterator<String> " + fields + " = " + node + ".fieldNames(); " + fields + ".hasNext(); ) {");
+                out.add("    String " + field + " = " + fields + ".next();");
+                out.add("    if (!" + known + ".contains(" + field + ")) {");
+                out.add("        validationErrors.add(" + concat(concat(path, " has unknown property '") + " + " + field, "'") + ");");
+                out.add("    }");
+                out.add("}");
+            }
+        }
+        
+        private void addArrayChecks(List<String> out, Schema<?> schema, String node, String path, int depth) {
+            addSizeChecks(out, node + ".size()", path, schema);
+            
+            String index = nextVariable("i");
+            String item = nextVariable("node");
+            List<String> checks = new ArrayList<>();
+            addJsonChecks(checks, schema.getItems(), item, indexPath(path, index), depth + 1);
+            if (!checks.isEmpty()) {
+                out.add("for (int " + index + " = 0; " + index + " < " + node + ".size(); " + index + "++) {");
+                out.add("    JsonNode " + item + " = " + node + ".get(" + index + ");");
+                out.addAll(indent(checks));
+                out.add("}");
+            }
+        }
+        
+        private void addDelimitedArrayChecks(List<String> out, String value, String path, Schema<?> schema) {
+            String values = nextVariable("values");
+            List<String> checks = new ArrayList<>();
+            addSizeChecks(checks, values + ".length", path, schema);
+            
+            Schema<?> items = schema.getItems();
+            if (items != null) {
+                String index = nextVariable("i");
+                String item = values + "[" + index + "]";
+                String itemPath = indexPath(path, index);
+                String itemType = schemaType(items);
+                List<String> itemChecks = new ArrayList<>();
+                if (itemType == null || "string".equals(itemType)) {
+                    addStringChecks(itemChecks, item, itemPath, items);
+                } else if ("integer".equals(itemType) || "number".equals(itemType)) {
+                    addListNumberChecks(itemChecks, item, itemPath, items, "integer".equals(itemType));
+                } else if ("boolean".equals(itemType)) {
+                    itemChecks.add("if (!\"true\".equals(" + item + ") && !\"false\".equals(" + item + ")) {");
+                    itemChecks.add("    validationErrors.add(" + concat(concat(itemPath, " must be a boolean, got '") 
+                        + " + " + item, "'") + ");");
+                    itemChecks.add("}");
+                } else {
+                    System.err.println("Warning: Skipping validation of " + itemType + " items in " + methodName + ": " + value);
+                }
+                if (!itemChecks.isEmpty()) {
+                    checks.add("for (int " + index + " = 0; " + index + " < " + values + ".length; " + index + "++) {");
+                    checks.addAll(indent(itemChecks));
+                    checks.add("}");
+                }
+            }
+            
+            if (!checks.isEmpty()) {
+                out.add("String[] " + values + " = splitListArgument(" + value + ");");
+                out.addAll(checks);
+            }
+        }
+        
+        /**
+         * List items are parsed as BigDecimal, then range and enum checked like JSON numbers.
+         */
+        private void addListNumberChecks(List<String> out, String item, String path, Schema<?> schema, boolean integer) {
+            String number = nextVariable("number");
+            out.add("BigDecimal " + number + " = parseListNumber(" + item + ");");
+            out.add("if (" + number + " == null" + (integer ? " || " + number + ".stripTrailingZeros().scale() > 0" : "") + ") {");
+            out.add("    validationErrors.add(" + concat(concat(path, " must be " + (integer ? "an integer" : "a number") + ", got '") 
+                + " + " + item, "'") + ");");
+            List<String> checks = new ArrayList<>();
+            addNumberChecks(checks, number, item, number, path, schema, true);
+            if (!checks.isEmpty()) {
+                out.add("} else {");
+                out.addAll(indent(checks));
+            }
+            out.add("}");
+        }
+        
+        private void addSizeChecks(List<String> out, String size, String path, Schema<?> schema) {
+            if (schema.getMinItems() != null) {
+                out.add("if (" + size + " < " + schema.getMinItems() + ") {");
+                out.add("    validationErrors.add(" + concat(path, " must have at least " + schema.getMinItems() + " items") + ");");
+                out.add("}");
+            }
+            if (schema.getMaxItems() != null) {
+                out.add("if (" + size + " > " + schema.getMaxItems() + ") {");
+                out.add("    validationErrors.add(" + concat(path, " must have at most " + schema.getMaxItems() + " items") + ");");
+                out.add("}");
+            }
+        }
+        
+        private void addStringChecks(List<String> out, String value, String path, Schema<?> schema) {
+            addEnumCheck(out, value, path, schema.getEnum());
+            
+            if (schema.getMinLength() != null) {
+                out.add("if (" + value + ".length() < " + schema.getMinLength() + ") {");
+                out.add("    validationErrors.add(" + concat(path, " must be at least " + schema.getMinLength() + " characters long") + ");");
+                out.add("}");
+            }
+            if (schema.getMaxLength() != null) {
+                out.add("if (" + value + ".length() > " + schema.getMaxLength() + ") {");
+                out.add("    validationErrors.add(" + concat(path, " must be at most " + schema.getMaxLength() + " characters long") + ");");
+                out.add("}");
+            }
+            if (schema.getPattern() != null) {
+                String pattern = patternConstant(schema.getPattern());
+                if (pattern != null) {
+                    out.add("if (!" + pattern + ".matcher(" + value + ").find()) {");
+                    out.add("    validationErrors.add(" + concat(path, " must match pattern " + schema.getPattern()) + ");");
+                    out.add("}");
+                }
+            }
+        }
+        
+        /**
+         * Emits range checks on a numeric expression, and an enum check on its BigDecimal form.
+         * Exact checks compare a BigDecimal expression, so that values beyond the range of long are not truncated.
+         */
+        private void addNumberChecks(List<String> out, String value, String display, String decimal, String path, 
+                                     Schema<?> schema, boolean exact) {
+            addNumberEnumCheck(out, decimal, display, path, schema.getEnum());
+            
+            // OpenAPI 3.1 numeric exclusive bounds apply in addition to minimum and maximum
+            addBoundCheck(out, value, display, path, schema.getMinimum(), true, 
+                Boolean.TRUE.equals(schema.getExclusiveMinimum()), exact);
+            addBoundCheck(out, value, display, path, schema.getExclusiveMinimumValue(), true, true, exact);
+            addBoundCheck(out, value, display, path, schema.getMaximum(), false, 
+                Boolean.TRUE.equals(schema.getExclusiveMaximum()), exact);
+            addBoundCheck(out, value, display, path, schema.getExclusiveMaximumValue(), false, true, exact);
+        }
+        
+        private void addBoundCheck(List<String> out, String value, String display, String path, BigDecimal bound, 
+                                   boolean lower, boolean exclusive, boolean exact) {
+            if (bound == null) {
+                return;
+            }
+            String failing = lower ? (exclusive ? " <= " : " < ") : (exclusive ? " >= " : " > ");
+            String expected = lower ? (exclusive ? "> " : ">= ") : (exclusive ? "< " : "<= ");
+            out.add("if (" + comparison(value, failing, bound, exact) + ") {");
+            out.add("    validationErrors.add(" + concat(path, " must be " + expected + bound.toPlainString() + ", got ") 
+                + " + " + display + ");");
+            out.add("}");
+        }
+        
+        private String comparison(String value, String operator, BigDecimal bound, boolean exact) {
+            if (!exact) {
+                return value + operator + bound.toPlainString() + "d";
+            }
+            String name = constantPrefix + "_BOUND_" + (++constantCount);
+            constants.append("    private static final BigDecimal ").append(name)
+                .append(" = new BigDecimal(").append(literal(bound.toPlainString())).append(");\n");
+            return value + ".compareTo(" + name + ")" + operator + "0";
+        }
+        
+        private void addEnumCheck(List<String> out, String value, String path, List<?> enumValues) {
+            if (enumValues == null) {
+                return;
+            }
+            Set<String> allowed = new LinkedHashSet<>();
+            for (Object enumValue : enumValues) {
+                if (enumValue != null) {
+                    allowed.add(String.valueOf(enumValue));
+                }
+            }
+            if (allowed.isEmpty()) {
+                return;
+            }
+            
+            String constant = setConstant(allowed);
+            out.add("if (!" + constant + ".contains(" + value + ")) {");
+            out.add("    validationErrors.add(" + concat(concat(path, " must be one of " + allowed + ", got '") 
+                + " + " + value, "'") + ");");
+            out.add("}");
+        }
+        
+        /**
+         * Numeric enum values are compared without trailing zeros, so that 1.5 matches 1.50.
+         */
+        private void addNumberEnumCheck(List<String> out, String decimal, String display, String path, List<?> enumValues) {
+            if (enumValues == null) {
+                return;
+            }
+            Set<BigDecimal> allowed = new LinkedHashSet<>();
+            for (Object enumValue : enumValues) {
+                try {
+                    allowed.add(new BigDecimal(String.valueOf(enumValue)).stripTrailingZeros());
+                } catch (NumberFormatException e) {
+                    // Null or non-numeric values can never match a number
+                }
+            }
+            if (allowed.isEmpty()) {
+                return;
+            }
+            
+            String name = constantPrefix + "_VALUES_" + (++constantCount);
+            constants.append("    private static final Set<BigDecimal> ").append(name).append(" = Set.of(")
+                .append(allowed.stream().map(value -> "new BigDecimal(" + literal(value.toString()) + ")")
+                    .collect(Collectors.joining(", ")))
+                .append(");\n");
+            
+            String labels = allowed.stream().map(BigDecimal::toPlainString).collect(Collectors.joining(", ", "[", "]"));
+            out.add("if (!" + name + ".contains(" + decimal + ".stripTrailingZeros())) {");
+            out.add("    validationErrors.add(" + concat(path, " must be one of " + labels + ", got ") + " + " + display + ");");
+            out.add("}");
+        }
+        
+        private String setConstant(Set<String> values) {
+            String name = constantPrefix + "_VALUES_" + (++constantCount);
+            constants.append("    private static final Set<String> ").append(name).append(" = Set.of(")
+                .append(values.stream().map(ValidationCodeBuilder::literal).collect(Collectors.joining(", ")))
+                .append(");\n");
+            return name;
+        }
+        
+        private String patternConstant(String regex) {
+            try {
+                Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                // The generated class must not fail to load because of a pattern Java cannot compile
+                System.err.println("Warning: Skipping validation of unsupported pattern in " + methodName + ": " + regex);
+                return null;
+            }
+            String name = constantPrefix + "_PATTERN_" + (++constantCount);
+            constants.append("    private static final Pattern ").append(name)
+                .append(" = Pattern.compile(").append(literal(regex)).append(");\n");
+            return name;
+        }
+        
+        private String nextVariable(String base) {
+            return base + (++variableCount);
+        }
+        
+        private static List<String> indent(List<String> lines) {
+            return lines.stream().map(line -> "    " + line).collect(Collectors.toList());
+        }
+        
+        private static String literal(String text) {
+            return "\"" + StringEscapeUtils.escapeJava(text) + "\"";
+        }
+        
+        /**
+         * Appends literal text to a Java string expression, merging it into a trailing literal when possible.
+         */
+        private static String concat(String expression, String text) {
+            if (text.isEmpty()) {
+                return expression;
+            }
+            if (expression.endsWith("\"")) {
+                return expression.substring(0, expression.length() - 1) + StringEscapeUtils.escapeJava(text) + "\"";
+            }
+            return expression + " + " + literal(text);
+        }
+        
+        private static String indexPath(String path, String index) {
+            return concat(path, "[") + " + " + index + " + \"]\"";
         }
     }
 }